@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-served-request and resident memory for the location service.
+#
+# Usage:
+#   scripts/measure-startup.sh <mode> [runs]
+#
+# Modes:
+#   jar     plain boot jar                     (./gradlew bootJar)
+#   cds     AOT + AppCDS, fast-startup profile (./gradlew -PfastStartup cdsArchive)
+#
+# Both modes run on the JDK that dumped the CDS archive (recorded by cdsArchive), falling back
+# to JAVA_HOME and then to java on PATH. The cds mode uses -Xshare:on, so a JVM that cannot use
+# the archive fails to start instead of silently running without CDS.
+#
+# "Served" means the first HTTP response of any status from the driver lookup endpoint,
+# so the numbers do not depend on Redis or Eureka being reachable. RSS is sampled
+# right after that first response. Each run prints one line; the last line is the median.
+
+set -euo pipefail
+
+MODE="${1:?usage: $0 <jar|cds> [runs]}"
+RUNS="${2:-5}"
+PORT="${PORT:-7777}"
+URL="http://localhost:${PORT}/api/v1/locations/drivers/startup-probe"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/build/libs/location-service-*.jar | grep -v plain | head -1)"
+LOG="$ROOT/build/measure-startup.log"
+
+if [ -f "$ROOT/build/fast-startup/java-home" ]; then
+  JAVA="$(cat "$ROOT/build/fast-startup/java-home")/bin/java"
+elif [ -n "${JAVA_HOME:-}" ]; then
+  JAVA="$JAVA_HOME/bin/java"
+else
+  JAVA=java
+fi
+echo "using $("$JAVA" -XshowSettings:properties -version 2>&1 | awk -F' = ' '/java.home/ {print $2}')" >&2
+
+# The Eureka client is created in every mode; an AOT build fixes its beans at build time,
+# so only runtime settings are passed here. Registration and registry fetch are turned off
+# so the numbers do not depend on a Eureka server being reachable.
+COMMON_ARGS=(
+  "--server.port=${PORT}"
+  "--eureka.client.register-with-eureka=false"
+  "--eureka.client.fetch-registry=false"
+)
+
+case "$MODE" in
+  jar)
+    CMD=("$JAVA" -jar "$JAR" "${COMMON_ARGS[@]}")
+    ;;
+  cds)
+    cd "$ROOT/build/fast-startup"
+    if [ ! -f "$ROOT/build/fast-startup/java-home" ]; then
+      echo "no CDS archive, run ./gradlew -PfastStartup cdsArchive first" >&2
+      exit 1
+    fi
+    CMD=("$JAVA" -Xshare:on -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
+         -Dspring.profiles.active=fast-startup -jar "$(basename "$JAR")" "${COMMON_ARGS[@]}")
+    ;;
+  *)
+    echo "unknown mode: $MODE" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() {
+  date +%s%3N
+}
+
+results=()
+
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "${CMD[@]}" > "$LOG" 2>&1 &
+  pid=$!
+
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" != "000" ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "process exited before serving a request, see $LOG:" >&2
+      tail -n 20 "$LOG" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+
+  elapsed=$(( $(now_ms) - start ))
+  rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  echo "run=$run mode=$MODE first_request_ms=$elapsed rss_mb=$(( rss_kb / 1024 ))"
+  results+=("$elapsed $(( rss_kb / 1024 ))")
+done
+
+printf '%s\n' "${results[@]}" | sort -n | awk -v mode="$MODE" '
+  { t[NR] = $1; r[NR] = $2 }
+  END { m = int((NR + 1) / 2); printf "median mode=%s first_request_ms=%d rss_mb=%d\n", mode, t[m], r[m] }'
@@ -0,0 +1,21 @@
+package com.hritik.location_service.simulator;
+
+/**
+ * Location service endpoints exercised by the simulator.
+ */
+enum Endpoint {
+
+    SAVE_LOCATION("POST /drivers"),
+    NEARBY_DRIVERS("POST /drivers/nearby"),
+    GET_DRIVER("GET /drivers/{driverId}");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,206 @@
+package com.hritik.location_service.simulator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic fleet load test for the location service.
+ * Drivers ping their position and riders look up nearby drivers and single drivers, each on a
+ * fixed schedule. Requests are sent asynchronously and timed from their intended send time,
+ * so a saturated server shows up as latency rather than as a lower request rate.
+ *
+ * <pre>
+ * ./gradlew :simulator:run --args="--drivers=5000 --riders=100 --duration-seconds=120"
+ * </pre>
+ */
+public final class FleetSimulator {
+
+    private static final String LOCATIONS_PATH = "/api/v1/locations/drivers";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimulatorConfig config;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient client;
+    private final List<VirtualDriver> drivers = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    FleetSimulator(SimulatorConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // Tomcat speaks plain HTTP/1.1; skip the h2c upgrade
+                .connectTimeout(Duration.ofSeconds(2))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+
+        SplittableRandom random = new SplittableRandom(config.seed());
+        for (int i = 0; i < config.drivers(); i++) {
+            drivers.add(new VirtualDriver(String.format("SIM-%06d", i), config, random.split()));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulatorConfig config = SimulatorConfig.fromArgs(args);
+        new FleetSimulator(config).run();
+    }
+
+    void run() throws InterruptedException, IOException {
+        System.out.printf(Locale.ROOT, "Simulating %d drivers and %d riders against %s%n",
+                config.drivers(), config.riders(), config.baseUrl());
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        startDrivers(scheduler);
+        startRiders(scheduler);
+
+        TimeUnit.SECONDS.sleep(config.warmupSeconds());
+        recorder.startMeasuring();
+        long measureStart = System.nanoTime();
+
+        TimeUnit.SECONDS.sleep(config.durationSeconds());
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        // The slowest requests of the run are still in flight; they belong in the report
+        awaitInFlightRequests();
+
+        SimulationReport report = new SimulationReport(config, recorder, measuredSeconds);
+        report.print(System.out);
+        report.writeJson(config.reportFile());
+
+        System.exit(0);
+    }
+
+    /**
+     * Schedule each driver's pings, spread evenly over the first interval.
+     */
+    private void startDrivers(ScheduledExecutorService scheduler) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(config.pingIntervalMs());
+        long start = System.nanoTime();
+
+        for (int i = 0; i < drivers.size(); i++) {
+            VirtualDriver driver = drivers.get(i);
+            long offsetNanos = intervalNanos * i / drivers.size();
+
+            scheduler.scheduleAtFixedRate(new Runnable() {
+                private long intendedAt = start + offsetNanos;
+
+                @Override
+                public void run() {
+                    driver.advance(config.pingIntervalMs() / 1000.0);
+                    sendPing(driver, intendedAt);
+                    intendedAt += intervalNanos;
+                }
+            }, offsetNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void sendPing(VirtualDriver driver, long intendedAt) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + LOCATIONS_PATH))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(driver.pingJson()))
+                .build();
+
+        send(Endpoint.SAVE_LOCATION, request, intendedAt, false);
+    }
+
+    /**
+     * Schedule each rider's requests at a fixed rate, spread evenly over the first interval.
+     * Riders do not wait for responses, so they keep their rate when the server slows down.
+     */
+    private void startRiders(ScheduledExecutorService scheduler) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(config.riderIntervalMs());
+        SplittableRandom seedSource = new SplittableRandom(config.seed() + 1);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < config.riders(); i++) {
+            SplittableRandom random = seedSource.split();
+            long offsetNanos = intervalNanos * i / config.riders();
+
+            scheduler.scheduleAtFixedRate(new Runnable() {
+                private long intendedAt = start + offsetNanos;
+
+                @Override
+                public void run() {
+                    if (random.nextDouble() < config.nearbyRatio()) {
+                        findNearby(random, intendedAt);
+                    } else {
+                        getDriver(random, intendedAt);
+                    }
+                    intendedAt += intervalNanos;
+                }
+            }, offsetNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void findNearby(SplittableRandom random, long intendedAt) {
+        String body = String.format(Locale.ROOT, "{\"latitude\":%.6f,\"longitude\":%.6f}",
+                random.nextDouble(config.minLatitude(), config.maxLatitude()),
+                random.nextDouble(config.minLongitude(), config.maxLongitude()));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + LOCATIONS_PATH + "/nearby"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        send(Endpoint.NEARBY_DRIVERS, request, intendedAt, false);
+    }
+
+    private void getDriver(SplittableRandom random, long intendedAt) {
+        String driverId = drivers.get(random.nextInt(drivers.size())).driverId();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + LOCATIONS_PATH + "/" + driverId))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+
+        // A driver that has not pinged yet is a valid 404
+        send(Endpoint.GET_DRIVER, request, intendedAt, true);
+    }
+
+    /**
+     * Send asynchronously and record latency from the intended send time.
+     */
+    private void send(Endpoint endpoint, HttpRequest request, long intendedAt, boolean notFoundIsSuccess) {
+        inFlight.incrementAndGet();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    boolean success = error == null && (response.statusCode() / 100 == 2
+                            || (notFoundIsSuccess && response.statusCode() == 404));
+                    recorder.record(endpoint, System.nanoTime() - intendedAt, success);
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    /**
+     * Wait for outstanding requests to complete or time out, so they are counted in the report.
+     */
+    private void awaitInFlightRequests() throws InterruptedException {
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.plusSeconds(1).toNanos();
+
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        if (inFlight.get() > 0) {
+            System.out.printf(Locale.ROOT, "Warning: %d requests still in flight are missing from the report%n",
+                    inFlight.get());
+        }
+    }
+}
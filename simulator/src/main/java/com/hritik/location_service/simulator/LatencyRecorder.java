@@ -0,0 +1,60 @@
+package com.hritik.location_service.simulator;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts.
+ * Samples taken before {@link #startMeasuring()} are discarded as warmup.
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    private volatile boolean measuring;
+
+    LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void startMeasuring() {
+        // Drop whatever was recorded during warmup
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        measuring = true;
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        if (!measuring) {
+            return;
+        }
+
+        recorders.get(endpoint).recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Histogram of everything recorded since measuring started.
+     */
+    Histogram histogram(Endpoint endpoint) {
+        return recorders.get(endpoint).getIntervalHistogram();
+    }
+
+    long errors(Endpoint endpoint) {
+        return errors.get(endpoint).sum();
+    }
+}
@@ -0,0 +1,108 @@
+package com.hritik.location_service.simulator;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Latency percentiles and throughput per endpoint for one simulator run.
+ * The JSON form is meant to be kept next to a release and compared with the next run.
+ */
+final class SimulationReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final SimulatorConfig config;
+    private final double measuredSeconds;
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+
+    SimulationReport(SimulatorConfig config, LatencyRecorder recorder, double measuredSeconds) {
+        this.config = config;
+        this.measuredSeconds = measuredSeconds;
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, recorder.histogram(endpoint));
+            errors.put(endpoint, recorder.errors(endpoint));
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%-24s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+
+            out.printf(Locale.ROOT, "%-24s %9d %9.1f %8d", endpoint.label(), histogram.getTotalCount(),
+                    histogram.getTotalCount() / measuredSeconds, errors.get(endpoint));
+
+            for (double percentile : PERCENTILES) {
+                out.printf(Locale.ROOT, " %9.2f", histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+            }
+
+            out.printf(Locale.ROOT, " %9.2f%n", histogram.getMaxValue() / NANOS_PER_MILLI);
+        }
+    }
+
+    void writeJson(String file) throws IOException {
+        StringJoiner endpoints = new StringJoiner(",\n", "{\n", "\n  }");
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            StringBuilder entry = new StringBuilder();
+
+            entry.append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"requests\": %d, \"throughput_rps\": %.1f, \"errors\": %d",
+                    endpoint.label(), histogram.getTotalCount(),
+                    histogram.getTotalCount() / measuredSeconds, errors.get(endpoint)));
+
+            for (double percentile : PERCENTILES) {
+                entry.append(String.format(Locale.ROOT, ", \"p%s_ms\": %.3f",
+                        formatPercentile(percentile), histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI));
+            }
+
+            entry.append(String.format(Locale.ROOT, ", \"max_ms\": %.3f}", histogram.getMaxValue() / NANOS_PER_MILLI));
+            endpoints.add(entry);
+        }
+
+        String json = String.format(Locale.ROOT, """
+                {
+                  "base_url": "%s",
+                  "drivers": %d,
+                  "riders": %d,
+                  "ping_interval_ms": %d,
+                  "rider_interval_ms": %d,
+                  "nearby_ratio": %.2f,
+                  "bounding_box": [%.4f, %.4f, %.4f, %.4f],
+                  "measured_seconds": %.1f,
+                  "endpoints": %s
+                }
+                """,
+                config.baseUrl(), config.drivers(), config.riders(), config.pingIntervalMs(),
+                config.riderIntervalMs(), config.nearbyRatio(), config.minLatitude(), config.minLongitude(),
+                config.maxLatitude(), config.maxLongitude(), measuredSeconds, endpoints);
+
+        Path path = Path.of(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, json);
+
+        System.out.printf("%nReport written to %s%n", path.toAbsolutePath());
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+}
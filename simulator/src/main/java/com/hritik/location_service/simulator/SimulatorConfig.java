@@ -0,0 +1,72 @@
+package com.hritik.location_service.simulator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from {@code --key=value} arguments.
+ * Defaults describe a mid-sized city around central Delhi.
+ */
+public record SimulatorConfig(
+        String baseUrl,
+        int drivers,
+        int riders,
+        int durationSeconds,
+        int warmupSeconds,
+        long pingIntervalMs,
+        long riderIntervalMs,
+        double nearbyRatio,
+        double minLatitude,
+        double minLongitude,
+        double maxLatitude,
+        double maxLongitude,
+        String reportFile,
+        long seed) {
+
+    public static SimulatorConfig fromArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        SimulatorConfig config = new SimulatorConfig(
+                options.getOrDefault("base-url", "http://localhost:7777"),
+                Integer.parseInt(options.getOrDefault("drivers", "1000")),
+                Integer.parseInt(options.getOrDefault("riders", "50")),
+                Integer.parseInt(options.getOrDefault("duration-seconds", "60")),
+                Integer.parseInt(options.getOrDefault("warmup-seconds", "10")),
+                Long.parseLong(options.getOrDefault("ping-interval-ms", "4000")),
+                Long.parseLong(options.getOrDefault("rider-interval-ms", "200")),
+                Double.parseDouble(options.getOrDefault("nearby-ratio", "0.8")),
+                Double.parseDouble(options.getOrDefault("min-lat", "28.40")),
+                Double.parseDouble(options.getOrDefault("min-lon", "76.95")),
+                Double.parseDouble(options.getOrDefault("max-lat", "28.80")),
+                Double.parseDouble(options.getOrDefault("max-lon", "77.35")),
+                options.getOrDefault("report", "build/simulator-report.json"),
+                Long.parseLong(options.getOrDefault("seed", "42"))
+        );
+
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        if (drivers < 1 || riders < 0) {
+            throw new IllegalArgumentException("drivers must be positive and riders non-negative");
+        }
+        if (minLatitude >= maxLatitude || minLongitude >= maxLongitude) {
+            throw new IllegalArgumentException("Bounding box min values must be below max values");
+        }
+        if (nearbyRatio < 0 || nearbyRatio > 1) {
+            throw new IllegalArgumentException("nearby-ratio must be between 0 and 1");
+        }
+        if (durationSeconds < 1 || warmupSeconds < 0 || pingIntervalMs < 1 || riderIntervalMs < 1) {
+            throw new IllegalArgumentException("duration-seconds, ping-interval-ms and rider-interval-ms must be positive");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.hritik.location_service.simulator;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * A simulated driver moving along a street grid.
+ * Drives straight at city speed, may turn at each block corner, and turns back at the city edge.
+ * Not thread-safe: each driver is only touched by the task that sends its pings.
+ */
+final class VirtualDriver {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    private static final double BLOCK_DEGREES = 0.002; // roughly a 200 m city block
+    private static final double TURN_PROBABILITY = 0.3;
+
+    // Headings as unit steps on the grid: north, east, south, west
+    private static final int[][] HEADINGS = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+
+    private final String driverId;
+    private final SimulatorConfig config;
+    private final SplittableRandom random;
+    private final double speedKmPerSecond;
+
+    private double latitude;
+    private double longitude;
+    private int heading;
+    private double untilCornerDegrees;
+
+    VirtualDriver(String driverId, SimulatorConfig config, SplittableRandom random) {
+        this.driverId = driverId;
+        this.config = config;
+        this.random = random;
+        this.speedKmPerSecond = random.nextDouble(15.0, 45.0) / 3600.0;
+        this.latitude = random.nextDouble(config.minLatitude(), config.maxLatitude());
+        this.longitude = random.nextDouble(config.minLongitude(), config.maxLongitude());
+        this.heading = random.nextInt(HEADINGS.length);
+        this.untilCornerDegrees = random.nextDouble(BLOCK_DEGREES);
+    }
+
+    /**
+     * Advance the driver by the given amount of simulated time.
+     */
+    void advance(double seconds) {
+        double kmPerDegreeLongitude = KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(latitude));
+        double kmPerDegree = HEADINGS[heading][0] != 0 ? KM_PER_DEGREE_LATITUDE : kmPerDegreeLongitude;
+        double remainingDegrees = speedKmPerSecond * seconds / kmPerDegree;
+
+        while (remainingDegrees > 0) {
+            double step = Math.min(remainingDegrees, untilCornerDegrees);
+            latitude += HEADINGS[heading][0] * step;
+            longitude += HEADINGS[heading][1] * step;
+            remainingDegrees -= step;
+            untilCornerDegrees -= step;
+
+            if (untilCornerDegrees <= 0) {
+                untilCornerDegrees = BLOCK_DEGREES;
+                if (random.nextDouble() < TURN_PROBABILITY) {
+                    heading = (heading + (random.nextBoolean() ? 1 : 3)) % HEADINGS.length;
+                }
+            }
+
+            if (outsideCity()) {
+                latitude = clamp(latitude, config.minLatitude(), config.maxLatitude());
+                longitude = clamp(longitude, config.minLongitude(), config.maxLongitude());
+                heading = (heading + 2) % HEADINGS.length;
+            }
+        }
+    }
+
+    String driverId() {
+        return driverId;
+    }
+
+    /**
+     * Request body for {@code POST /api/v1/locations/drivers} at the current position.
+     */
+    String pingJson() {
+        return String.format(Locale.ROOT,
+                "{\"driver_id\":\"%s\",\"latitude\":%.6f,\"longitude\":%.6f}",
+                driverId, latitude, longitude);
+    }
+
+    private boolean outsideCity() {
+        return latitude < config.minLatitude() || latitude > config.maxLatitude()
+                || longitude < config.minLongitude() || longitude > config.maxLongitude();
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
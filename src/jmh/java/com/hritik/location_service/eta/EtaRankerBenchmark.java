@@ -0,0 +1,122 @@
+package com.hritik.location_service.eta;
+
+import com.hritik.location_service.dto.DriverLocationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ETA ranking per candidate driver.
+ * Uses a synthetic 60 x 60 grid (about 26 MB), roughly a city at 1 km cells.
+ * Candidate lists are built up front and only reset between invocations, so the
+ * measurement covers lookups and sorting rather than allocation. A cache size of 0
+ * reads every travel time from the mapped file.
+ *
+ * <pre>
+ * ./gradlew jmh
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EtaRankerBenchmark {
+
+    private static final int CANDIDATES = 10;
+    private static final int ROWS = 60;
+    private static final int COLS = 60;
+    private static final double MIN_LATITUDE = 28.40;
+    private static final double MIN_LONGITUDE = 76.95;
+    private static final double CELL_SIZE = 0.01;
+    private static final int SEARCHES = 1024; // power of two
+
+    @Param({"0", "65536"})
+    private int cacheSize;
+
+    private EtaRanker ranker;
+    private Path gridFile;
+
+    private final double[] searchLatitudes = new double[SEARCHES];
+    private final double[] searchLongitudes = new double[SEARCHES];
+    private final DriverLocationDto[][] candidates = new DriverLocationDto[SEARCHES][];
+    private final List<DriverLocationDto> drivers = new ArrayList<>(CANDIDATES);
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        int cells = ROWS * COLS;
+        char[] seconds = new char[cells * cells];
+        SplittableRandom gridRandom = new SplittableRandom(7);
+
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = (char) gridRandom.nextInt(60, 3600);
+        }
+
+        gridFile = Files.createTempFile("travel-time-grid", ".bin");
+        TravelTimeGrid.write(gridFile, MIN_LATITUDE, MIN_LONGITUDE, CELL_SIZE, ROWS, COLS, seconds);
+
+        ranker = new EtaRanker();
+        ranker.useGrid(TravelTimeGrid.load(gridFile, cacheSize));
+
+        // Riders cluster around a few hot spots, drivers spread out around them
+        SplittableRandom random = new SplittableRandom(42);
+        for (int search = 0; search < SEARCHES; search++) {
+            double latitude = MIN_LATITUDE + 0.2 + random.nextInt(4) * 0.05;
+            double longitude = MIN_LONGITUDE + 0.2 + random.nextInt(4) * 0.05;
+
+            searchLatitudes[search] = latitude;
+            searchLongitudes[search] = longitude;
+            candidates[search] = new DriverLocationDto[CANDIDATES];
+
+            for (int i = 0; i < CANDIDATES; i++) {
+                candidates[search][i] = DriverLocationDto.builder()
+                        .driverId("DRV-" + i)
+                        .latitude(latitude + random.nextDouble(-0.1, 0.1))
+                        .longitude(longitude + random.nextDouble(-0.1, 0.1))
+                        .distanceKm((double) i)
+                        .build();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(gridFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANDIDATES)
+    public void rankCandidates(Blackhole blackhole) {
+        int search = next++ & (SEARCHES - 1);
+
+        // Restore distance order and clear ETAs from the previous use of this search
+        drivers.clear();
+        for (DriverLocationDto driver : candidates[search]) {
+            driver.setEtaSeconds(null);
+            drivers.add(driver);
+        }
+
+        blackhole.consume(ranker.rank(searchLatitudes[search], searchLongitudes[search], drivers, CANDIDATES));
+    }
+}
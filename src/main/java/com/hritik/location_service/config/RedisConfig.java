@@ -1,24 +1,58 @@
 package com.hritik.location_service.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
 
 @Configuration
 public class RedisConfig {
 
+    // Keep calls short so a slow Redis trips the circuit breaker instead of piling up requests
+    @Value("${location.redis.connect-timeout-ms:500}")
+    private long connectTimeoutMs;
+
+    @Value("${location.redis.read-timeout-ms:300}")
+    private long readTimeoutMs;
+
+    // Connections for request traffic; stream ingest workers each hold one more while blocked on reads
+    @Value("${location.redis.pool.max-total:8}")
+    private int poolMaxTotal;
+
+    @Value("${location.ingest.stream.enabled:false}")
+    private boolean streamIngestEnabled;
+
+    @Value("${location.ingest.stream.workers:2}")
+    private int streamWorkers;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
         config.setHostName("localhost");
         config.setPort(6379);
 
-        return new JedisConnectionFactory(config);
+        int maxTotal = poolMaxTotal + (streamIngestEnabled ? streamWorkers : 0);
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(maxTotal);
+
+        JedisClientConfiguration clientConfig = JedisClientConfiguration.builder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .usePooling()
+                .poolConfig(poolConfig)
+                .build();
+
+        return new JedisConnectionFactory(config, clientConfig);
     }
 
     @Bean
@@ -0,0 +1,25 @@
+package com.hritik.location_service.config;
+
+import com.hritik.location_service.LocationServiceApplication;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup tuning used together with lazy initialization.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APPLICATION_PACKAGE = LocationServiceApplication.class.getPackageName();
+
+    /**
+     * Keep the application's own beans eager so the first request does not pay for them
+     * and the scheduled snapshot refresh starts with the context.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter applicationBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType != null && beanType.getPackageName().startsWith(APPLICATION_PACKAGE);
+    }
+}
@@ -4,6 +4,7 @@ import com.hritik.location_service.dto.DriverLocationDto;
 import com.hritik.location_service.dto.NearbyDriversRequestDto;
 import com.hritik.location_service.dto.SaveDriverLocationRequestDto;
 import com.hritik.location_service.dto.ApiResponse;
+import com.hritik.location_service.service.LocationResult;
 import com.hritik.location_service.service.LocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -67,13 +68,20 @@ public class LocationController {
         log.info("Searching for drivers near: lat={}, lon={}",
                 request.getLatitude(), request.getLongitude());
 
-        List<DriverLocationDto> drivers = locationService.getNearByDrivers(
+        LocationResult<List<DriverLocationDto>> result = locationService.getNearByDrivers(
                 request.getLatitude(),
                 request.getLongitude()
         );
+        List<DriverLocationDto> drivers = result.getData();
 
         log.info("Found {} nearby drivers", drivers.size());
 
+        if (result.isDegraded()) {
+            return ResponseEntity.ok(
+                    ApiResponse.degraded("Nearby drivers retrieved from snapshot, results may be stale", drivers)
+            );
+        }
+
         return ResponseEntity.ok(
                 ApiResponse.success("Nearby drivers retrieved successfully", drivers)
         );
@@ -92,10 +100,16 @@ public class LocationController {
 
         log.info("Fetching location for driver: {}", driverId);
 
-        DriverLocationDto location = locationService.getDriverLocation(driverId);
+        LocationResult<DriverLocationDto> result = locationService.getDriverLocation(driverId);
+
+        if (result.isDegraded()) {
+            return ResponseEntity.ok(
+                    ApiResponse.degraded("Driver location retrieved from snapshot, it may be stale", result.getData())
+            );
+        }
 
         return ResponseEntity.ok(
-                ApiResponse.success("Driver location retrieved successfully", location)
+                ApiResponse.success("Driver location retrieved successfully", result.getData())
         );
     }
 
@@ -32,6 +32,10 @@ public class ApiResponse<T> {
     @JsonProperty("data")
     private T data;
 
+    @Schema(description = "Set when the data was served from a fallback snapshot and may be stale", example = "true")
+    @JsonProperty("degraded")
+    private Boolean degraded;
+
     @Schema(description = "Timestamp of the response")
     @JsonProperty("timestamp")
     @Builder.Default
@@ -56,6 +60,19 @@ public class ApiResponse<T> {
         return success(message, null);
     }
 
+    /**
+     * Create a successful response with data served in degraded mode.
+     */
+    public static <T> ApiResponse<T> degraded(String message, T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .degraded(true)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     /**
      * Create an error response.
      */
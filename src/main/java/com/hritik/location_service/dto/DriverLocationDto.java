@@ -34,4 +34,8 @@ public class DriverLocationDto implements Serializable {
     @Schema(description = "Distance from search point in kilometers", example = "2.5")
     @JsonProperty("distance_km")
     private Double distanceKm;
+
+    @Schema(description = "Estimated travel time to the search point in seconds, when ETA ranking is enabled", example = "240")
+    @JsonProperty("eta_seconds")
+    private Integer etaSeconds;
 }
\ No newline at end of file
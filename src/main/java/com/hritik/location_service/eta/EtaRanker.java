@@ -0,0 +1,101 @@
+package com.hritik.location_service.eta;
+
+import com.hritik.location_service.dto.DriverLocationDto;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Optional ranking stage that re-orders nearby drivers by estimated travel time.
+ * Travel times come from a local {@link TravelTimeGrid}, so ranking makes no network calls.
+ * Drivers without a known travel time keep their straight-line order after those with one.
+ *
+ * <p>The nearest drivers by distance are not always the fastest to arrive, so callers fetch
+ * {@link #candidateCount} candidates, rank them, and keep the requested number.
+ */
+@Slf4j
+@Component
+public class EtaRanker {
+
+    private static final Comparator<DriverLocationDto> BY_ETA_THEN_DISTANCE = Comparator
+            .comparing(DriverLocationDto::getEtaSeconds, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DriverLocationDto::getDistanceKm, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Value("${location.eta.enabled:false}")
+    private boolean enabled;
+
+    @Value("${location.eta.grid-file:}")
+    private String gridFile;
+
+    @Value("${location.eta.cache-size:65536}")
+    private int cacheSize;
+
+    @Value("${location.eta.candidate-multiplier:3}")
+    private int candidateMultiplier;
+
+    private TravelTimeGrid grid;
+
+    @PostConstruct
+    public void loadGrid() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            grid = TravelTimeGrid.load(Path.of(gridFile), cacheSize);
+            log.info("Loaded travel time grid from {}: {} cells", gridFile, grid.cells());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load travel time grid from '" + gridFile + "'", e);
+        }
+    }
+
+    /**
+     * Number of candidates to fetch from the geo query to return {@code requiredCount} ranked drivers.
+     */
+    public int candidateCount(int requiredCount) {
+        return grid == null ? requiredCount : requiredCount * Math.max(1, candidateMultiplier);
+    }
+
+    /**
+     * Set ETAs on the candidates, sort them by ETA and keep the first {@code limit}, in place.
+     *
+     * @param latitude  Latitude of the search point
+     * @param longitude Longitude of the search point
+     * @param drivers   Candidates from the geo query, nearest first
+     * @param limit     Number of drivers to keep
+     * @return the same list, re-ordered and cut to {@code limit} when ranking is enabled
+     */
+    public List<DriverLocationDto> rank(double latitude, double longitude, List<DriverLocationDto> drivers, int limit) {
+        if (grid == null) {
+            return drivers;
+        }
+
+        int targetCell = grid.cellOf(latitude, longitude);
+
+        for (DriverLocationDto driver : drivers) {
+            int seconds = grid.travelSeconds(grid.cellOf(driver.getLatitude(), driver.getLongitude()), targetCell);
+            driver.setEtaSeconds(seconds == TravelTimeGrid.UNKNOWN ? null : seconds);
+        }
+
+        drivers.sort(BY_ETA_THEN_DISTANCE);
+
+        if (drivers.size() > limit) {
+            drivers.subList(limit, drivers.size()).clear();
+        }
+
+        return drivers;
+    }
+
+    /**
+     * Use an already loaded grid, bypassing configuration. Intended for tests and benchmarks.
+     */
+    void useGrid(TravelTimeGrid grid) {
+        this.grid = grid;
+    }
+}
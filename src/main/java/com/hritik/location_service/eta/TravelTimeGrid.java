@@ -0,0 +1,174 @@
+package com.hritik.location_service.eta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Precomputed cell-to-cell travel times over a regular lat/lon grid, memory-mapped from a local file.
+ *
+ * <p>File layout, big-endian:
+ * <pre>
+ * int    magic        'ETAG'
+ * int    version      1
+ * double minLatitude
+ * double minLongitude
+ * double cellSizeDegrees
+ * int    rows
+ * int    cols
+ * u16    seconds[cells * cells]   row-major by (from cell, to cell), 0xFFFF = unknown
+ * </pre>
+ * where a cell index is {@code row * cols + col}.
+ */
+public final class TravelTimeGrid {
+
+    public static final int UNKNOWN = -1;
+
+    static final int MAGIC = 0x45544147;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4 + 4;
+    static final int UNKNOWN_SECONDS = 0xFFFF;
+    static final int MAX_CELLS = 32_767; // keeps the matrix within a single 2 GB mapping
+    static final int MAX_CACHE_SIZE = 1 << 24;
+
+    // Recently looked-up cell pairs skip the mapped read via a direct-mapped cache.
+    // One packed long per slot: (pair index + 1) << 16 | seconds, 0 marks an empty slot.
+    // Null when caching is disabled.
+    private final AtomicLongArray cache;
+    private final int cacheMask;
+
+    private final ByteBuffer matrix;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double cellSizeDegrees;
+    private final int rows;
+    private final int cols;
+    private final int cells;
+
+    private TravelTimeGrid(ByteBuffer matrix, double minLatitude, double minLongitude,
+                           double cellSizeDegrees, int rows, int cols, int cacheSize) {
+        this.matrix = matrix;
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = rows * cols;
+        this.cache = cacheSize > 0 ? new AtomicLongArray(cacheSize) : null;
+        this.cacheMask = cacheSize - 1;
+    }
+
+    /**
+     * Map a grid file.
+     *
+     * @param cacheSize number of hot cell pairs to cache, rounded up to a power of two; 0 disables the cache
+     */
+    public static TravelTimeGrid load(Path file, int cacheSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " travel time grid: " + file);
+            }
+
+            double minLatitude = buffer.getDouble(8);
+            double minLongitude = buffer.getDouble(16);
+            double cellSizeDegrees = buffer.getDouble(24);
+            int rows = buffer.getInt(32);
+            int cols = buffer.getInt(36);
+            long cells = (long) rows * cols;
+
+            if (rows <= 0 || cols <= 0 || cellSizeDegrees <= 0 || cells > MAX_CELLS
+                    || buffer.capacity() != HEADER_BYTES + cells * cells * 2) {
+                throw new IOException("Corrupt travel time grid header: " + file);
+            }
+
+            buffer.position(HEADER_BYTES);
+            ByteBuffer matrix = buffer.slice();
+
+            int size = cacheSize <= 0 ? 0
+                    : Integer.highestOneBit(Math.max(1, Math.min(cacheSize, MAX_CACHE_SIZE) - 1)) << 1;
+            return new TravelTimeGrid(matrix, minLatitude, minLongitude, cellSizeDegrees, rows, cols, size);
+        }
+    }
+
+    /**
+     * Write a grid file. Intended for tooling and benchmarks.
+     *
+     * @param seconds travel times indexed by {@code from * cells + to}, {@link #UNKNOWN_SECONDS} if unknown
+     */
+    static void write(Path file, double minLatitude, double minLongitude, double cellSizeDegrees,
+                      int rows, int cols, char[] seconds) throws IOException {
+        int cells = rows * cols;
+        if (seconds.length != cells * cells) {
+            throw new IllegalArgumentException("Expected " + cells * cells + " travel times");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + seconds.length * 2);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putDouble(minLatitude).putDouble(minLongitude).putDouble(cellSizeDegrees)
+                .putInt(rows).putInt(cols);
+        buffer.asCharBuffer().put(seconds);
+        buffer.rewind();
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Cell index containing a coordinate, or {@link #UNKNOWN} outside the grid.
+     */
+    public int cellOf(double latitude, double longitude) {
+        int row = (int) Math.floor((latitude - minLatitude) / cellSizeDegrees);
+        int col = (int) Math.floor((longitude - minLongitude) / cellSizeDegrees);
+
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return UNKNOWN;
+        }
+
+        return row * cols + col;
+    }
+
+    /**
+     * Travel time in seconds between two cells, or {@link #UNKNOWN}.
+     */
+    public int travelSeconds(int fromCell, int toCell) {
+        if (fromCell < 0 || toCell < 0) {
+            return UNKNOWN;
+        }
+
+        long pair = (long) fromCell * cells + toCell;
+
+        if (cache == null) {
+            return decode(matrix.getChar((int) (pair * 2)));
+        }
+
+        int slot = (int) (pair * 0x9E3779B97F4A7C15L >>> 40) & cacheMask;
+        long cached = cache.get(slot);
+
+        if (cached >>> 16 == pair + 1) {
+            return decode((int) (cached & 0xFFFF));
+        }
+
+        int seconds = matrix.getChar((int) (pair * 2));
+        cache.lazySet(slot, (pair + 1) << 16 | seconds);
+
+        return decode(seconds);
+    }
+
+    public int cells() {
+        return cells;
+    }
+
+    private static int decode(int seconds) {
+        return seconds == UNKNOWN_SECONDS ? UNKNOWN : seconds;
+    }
+}
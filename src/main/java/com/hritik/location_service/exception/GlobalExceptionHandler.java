@@ -31,6 +31,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(WriteBufferFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleWriteBufferFull(
+            WriteBufferFullException ex, WebRequest request) {
+
+        // Logged once per outage by the service, not per rejected write
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(LocationServiceException.class)
     public ResponseEntity<ApiResponse<Void>> handleLocationServiceException(
             LocationServiceException ex, WebRequest request) {
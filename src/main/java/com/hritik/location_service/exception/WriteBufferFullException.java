@@ -0,0 +1,12 @@
+package com.hritik.location_service.exception;
+
+/**
+ * Exception thrown when Redis is unavailable and the degraded-mode write buffer is full,
+ * so a write cannot be accepted for later replay.
+ */
+public class WriteBufferFullException extends RuntimeException {
+
+    public WriteBufferFullException(String message) {
+        super(message);
+    }
+}
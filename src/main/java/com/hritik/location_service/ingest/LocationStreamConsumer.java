@@ -0,0 +1,439 @@
+package com.hritik.location_service.ingest;
+
+import com.hritik.location_service.service.RedisLocationServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoConsumer;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoConsumers;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the ingest stream into the driver geo set.
+ * Workers read through a consumer group, so consumers on every instance share the stream.
+ * Entries are acknowledged only after they are applied (at-least-once), and the apply script
+ * keeps the newest entry per driver, so redeliveries and cross-consumer reordering are harmless.
+ *
+ * <p>The group is recreated if the stream disappears (e.g. Redis restarted without persistence),
+ * and the stream is trimmed only up to the oldest entry the group still needs.
+ *
+ * <p>The bean always exists and checks the flag at runtime, like {@link LocationStreamPublisher}:
+ * a bean condition would be fixed at build time by Spring AOT, leaving a fast-startup build
+ * that publishes to the stream with nothing draining it.
+ */
+@Slf4j
+@Component
+public class LocationStreamConsumer {
+
+    private static final String LAST_APPLIED_KEY = "drivers:locations:last-entry";
+    private static final long ERROR_BACKOFF_MS = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DefaultRedisScript<Long> applyBatchScript;
+    private final String consumerPrefix;
+
+    private final boolean enabled;
+    private final String streamKey;
+    private final String group;
+    private final int workers;
+    private final int batchSize;
+    private final long blockMs;
+    private final long claimIdleMs;
+    private final long consumerIdleTimeoutMs;
+
+    private final Timer ingestDelay;
+    private volatile double lag = Double.NaN;
+    private volatile double pendingEntries = Double.NaN;
+
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    public LocationStreamConsumer(
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.application.name:location-service}") String applicationName,
+            @Value("${location.ingest.stream.enabled:false}") boolean enabled,
+            @Value("${location.ingest.stream.key:drivers:locations:stream}") String streamKey,
+            @Value("${location.ingest.stream.group:location-ingest}") String group,
+            @Value("${location.ingest.stream.workers:2}") int workers,
+            @Value("${location.ingest.stream.batch-size:500}") int batchSize,
+            @Value("${location.ingest.stream.block-ms:200}") long blockMs,
+            @Value("${location.ingest.stream.claim-idle-ms:30000}") long claimIdleMs,
+            @Value("${location.ingest.stream.consumer-idle-timeout-ms:3600000}") long consumerIdleTimeoutMs) {
+
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.streamKey = streamKey;
+        this.group = group;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.blockMs = blockMs;
+        this.claimIdleMs = claimIdleMs;
+        this.consumerIdleTimeoutMs = consumerIdleTimeoutMs;
+
+        // pid@host keeps consumer names unique across instances and restarts
+        this.consumerPrefix = applicationName + "-" + ManagementFactory.getRuntimeMXBean().getName();
+
+        this.applyBatchScript = new DefaultRedisScript<>();
+        this.applyBatchScript.setLocation(new ClassPathResource("scripts/apply-location-batch.lua"));
+        this.applyBatchScript.setResultType(Long.class);
+
+        this.ingestDelay = Timer.builder("location.ingest.stream.delay")
+                .description("Time from stream append to applying the entry to the geo set")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("location.ingest.stream.lag", this, consumer -> consumer.lag)
+                .description("Entries appended to the stream but not yet delivered to the group")
+                .register(meterRegistry);
+        Gauge.builder("location.ingest.stream.pending", this, consumer -> consumer.pendingEntries)
+                .description("Entries delivered to a consumer but not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        // Redis may be down at startup; workers keep retrying and create the group on NOGROUP
+        try {
+            createGroupIfMissing();
+        } catch (Exception e) {
+            log.warn("Could not create consumer group {} on {}, workers will retry: {}",
+                    group, streamKey, e.getMessage());
+        }
+
+        running = true;
+        workerPool = Executors.newFixedThreadPool(workers);
+
+        for (int i = 0; i < workers; i++) {
+            String consumerName = consumerPrefix + "-" + i;
+            workerPool.submit(() -> consume(consumerName));
+        }
+
+        log.info("Started {} stream ingest workers on {} (group {})", workers, streamKey, group);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+
+        if (workerPool != null) {
+            workerPool.shutdown();
+
+            if (!workerPool.awaitTermination(blockMs + ERROR_BACKOFF_MS, TimeUnit.MILLISECONDS)) {
+                workerPool.shutdownNow();
+            }
+        }
+
+        removeOwnConsumers();
+    }
+
+    /**
+     * Take over entries left unacknowledged by a consumer that stalled or died,
+     * then drop consumers that have been idle for long with nothing pending.
+     */
+    @Scheduled(fixedDelayString = "${location.ingest.stream.claim-idle-ms:30000}")
+    public void reclaimStalledEntries() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            reclaim();
+            removeIdleConsumers();
+        } catch (Exception e) {
+            log.warn("Failed to reclaim stalled stream entries: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh the lag gauges and trim entries the group no longer needs.
+     */
+    @Scheduled(fixedDelayString = "${location.ingest.stream.metrics-interval-ms:5000}")
+    public void refreshMetrics() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Map<String, Object> info = groupInfo();
+
+            // lag is reported by Redis 7+; it is absent (or null) when Redis cannot compute it
+            lag = info.get("lag") instanceof Long value ? value : Double.NaN;
+            pendingEntries = info.get("pending") instanceof Long value ? value : Double.NaN;
+
+            trimConsumedEntries(info);
+
+        } catch (Exception e) {
+            lag = Double.NaN;
+            pendingEntries = Double.NaN;
+            log.debug("Failed to refresh stream ingest metrics: {}", e.getMessage());
+        }
+    }
+
+    private void reclaim() {
+        PendingMessages pending = stringRedisTemplate.opsForStream()
+                .pending(streamKey, group, Range.unbounded(), batchSize);
+
+        RecordId[] stalled = pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().toMillis() >= claimIdleMs)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+
+        if (stalled.length == 0) {
+            return;
+        }
+
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .claim(streamKey, group, consumerPrefix + "-reclaim", Duration.ofMillis(claimIdleMs), stalled);
+
+        apply(records);
+        log.info("Reclaimed {} stalled stream entries", records.size());
+    }
+
+    private void consume(String consumerName) {
+        // Block time must stay below the Redis read timeout, see RedisConfig
+        StreamReadOptions options = StreamReadOptions.empty()
+                .count(batchSize)
+                .block(Duration.ofMillis(blockMs));
+        StreamOffset<String> offset = StreamOffset.create(streamKey, ReadOffset.lastConsumed());
+
+        while (running) {
+            try {
+                List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                        .read(Consumer.from(group, consumerName), options, offset);
+
+                if (records != null && !records.isEmpty()) {
+                    apply(records);
+                }
+
+            } catch (Exception e) {
+                if (isMissingGroup(e)) {
+                    log.warn("Consumer group {} on {} is gone, recreating it", group, streamKey);
+                    recreateGroup();
+                    continue;
+                }
+                log.warn("Stream ingest worker {} failed: {}", consumerName, e.getMessage());
+                sleepQuietly(ERROR_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * Apply a batch in one script call, then acknowledge it.
+     * Only the newest entry per driver is sent; the rest are acknowledged as superseded.
+     */
+    private void apply(List<MapRecord<String, Object, Object>> records) {
+        Map<String, MapRecord<String, Object, Object>> latestByDriver = new LinkedHashMap<>();
+
+        for (MapRecord<String, Object, Object> record : records) {
+            Object driverId = record.getValue().get(LocationStreamPublisher.FIELD_DRIVER_ID);
+            if (driverId != null) {
+                latestByDriver.put(driverId.toString(), record);
+            }
+        }
+
+        List<String> args = new ArrayList<>(latestByDriver.size() * 5);
+        long now = System.currentTimeMillis();
+
+        latestByDriver.forEach((driverId, record) -> {
+            Map<Object, Object> fields = record.getValue();
+            args.add(record.getId().getValue());
+            args.add(driverId);
+            args.add(String.valueOf(fields.get(LocationStreamPublisher.FIELD_OP)));
+            args.add(String.valueOf(fields.getOrDefault(LocationStreamPublisher.FIELD_LONGITUDE, "0")));
+            args.add(String.valueOf(fields.getOrDefault(LocationStreamPublisher.FIELD_LATITUDE, "0")));
+
+            ingestDelay.record(Math.max(0, now - record.getId().getTimestamp()), TimeUnit.MILLISECONDS);
+        });
+
+        if (!args.isEmpty()) {
+            stringRedisTemplate.execute(applyBatchScript,
+                    List.of(RedisLocationServiceImpl.DRIVER_GEO_KEY, LAST_APPLIED_KEY), args.toArray());
+        }
+
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(streamKey, group, ids);
+    }
+
+    /**
+     * Trim entries older than the oldest one the group still needs: the oldest pending entry,
+     * or the last delivered one when nothing is pending. Undelivered entries are never trimmed.
+     */
+    private void trimConsumedEntries(Map<String, Object> info) {
+        Object lastDelivered = info.get("last-delivered-id");
+        if (!(lastDelivered instanceof String lastDeliveredId) || "0-0".equals(lastDeliveredId)) {
+            return;
+        }
+
+        String minId = lastDeliveredId;
+        if (info.get("pending") instanceof Long pending && pending > 0) {
+            PendingMessages oldest = stringRedisTemplate.opsForStream()
+                    .pending(streamKey, group, Range.unbounded(), 1);
+            if (oldest.isEmpty()) {
+                return;
+            }
+            minId = oldest.get(0).getIdAsString();
+        }
+
+        String trimTo = minId;
+        stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.execute("XTRIM", bytes(streamKey), bytes("MINID"), bytes("~"), bytes(trimTo)));
+    }
+
+    /**
+     * This group's entry from XINFO GROUPS as a field map, or an empty map if the group does not exist.
+     */
+    private Map<String, Object> groupInfo() {
+        Object reply = stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.execute("XINFO", bytes("GROUPS"), bytes(streamKey)));
+
+        if (reply instanceof List<?> groups) {
+            for (Object entry : groups) {
+                Map<String, Object> fields = toFieldMap(entry);
+                if (group.equals(fields.get("name"))) {
+                    return fields;
+                }
+            }
+        }
+
+        return Map.of();
+    }
+
+    private static Map<String, Object> toFieldMap(Object entry) {
+        Map<String, Object> fields = new HashMap<>();
+
+        if (entry instanceof List<?> pairs) {
+            for (int i = 0; i + 1 < pairs.size(); i += 2) {
+                Object value = pairs.get(i + 1);
+                fields.put(asString(pairs.get(i)), value instanceof byte[] ? asString(value) : value);
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Delete this instance's consumers on shutdown. A consumer that still owns pending entries
+     * is kept so another instance can reclaim them.
+     */
+    private void removeOwnConsumers() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            names.add(consumerPrefix + "-" + i);
+        }
+        names.add(consumerPrefix + "-reclaim");
+
+        try {
+            for (XInfoConsumer consumer : consumers()) {
+                if (names.contains(consumer.consumerName()) && consumer.pendingCount() == 0) {
+                    stringRedisTemplate.opsForStream()
+                            .deleteConsumer(streamKey, Consumer.from(group, consumer.consumerName()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to remove stream consumers of {}: {}", consumerPrefix, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete consumers left behind by instances that crashed, once they have nothing pending.
+     */
+    private void removeIdleConsumers() {
+        for (XInfoConsumer consumer : consumers()) {
+            if (consumer.pendingCount() == 0 && consumer.idleTimeMs() >= consumerIdleTimeoutMs
+                    && !consumer.consumerName().startsWith(consumerPrefix + "-")) {
+                stringRedisTemplate.opsForStream()
+                        .deleteConsumer(streamKey, Consumer.from(group, consumer.consumerName()));
+                log.info("Removed idle stream consumer {}", consumer.consumerName());
+            }
+        }
+    }
+
+    private List<XInfoConsumer> consumers() {
+        XInfoConsumers consumers = stringRedisTemplate.opsForStream().consumers(streamKey, group);
+        return consumers != null ? consumers.stream().toList() : List.of();
+    }
+
+    private void recreateGroup() {
+        try {
+            createGroupIfMissing();
+        } catch (Exception e) {
+            log.warn("Failed to recreate consumer group {} on {}: {}", group, streamKey, e.getMessage());
+            sleepQuietly(ERROR_BACKOFF_MS);
+        }
+    }
+
+    private static boolean isMissingGroup(Exception e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("NOGROUP");
+    }
+
+    private void createGroupIfMissing() {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(bytes(streamKey), group, ReadOffset.from("0-0"), true));
+
+            log.info("Created consumer group {} on {}", group, streamKey);
+
+        } catch (Exception e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            if (cause.getMessage() == null || !cause.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String asString(Object value) {
+        return value instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
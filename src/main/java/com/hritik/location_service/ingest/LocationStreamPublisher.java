@@ -0,0 +1,88 @@
+package com.hritik.location_service.ingest;
+
+import com.hritik.location_service.resilience.LocationSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends driver location writes to the ingest stream.
+ * Used instead of writing the geo set directly when stream ingest is enabled;
+ * {@link LocationStreamConsumer} applies the entries.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationStreamPublisher {
+
+    static final String FIELD_DRIVER_ID = "driver_id";
+    static final String FIELD_OP = "op";
+    static final String FIELD_LATITUDE = "lat";
+    static final String FIELD_LONGITUDE = "lon";
+
+    static final String OP_SAVE = "SET";
+    static final String OP_DELETE = "DEL";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${location.ingest.stream.enabled:false}")
+    private boolean enabled;
+
+    @Value("${location.ingest.stream.key:drivers:locations:stream}")
+    private String streamKey;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void publishSave(String driverId, double latitude, double longitude) {
+        stringRedisTemplate.opsForStream().add(streamKey, saveFields(driverId, latitude, longitude));
+    }
+
+    /**
+     * Deletions go through the stream too, so a ping still queued for the driver
+     * cannot bring the driver back after it was removed.
+     */
+    public void publishDelete(String driverId) {
+        stringRedisTemplate.opsForStream().add(streamKey, deleteFields(driverId));
+    }
+
+    /**
+     * Append buffered writes in one pipelined round trip. Used to replay degraded-mode writes.
+     */
+    public void publishAll(List<Map.Entry<String, LocationSnapshot.PendingWrite>> writes) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+
+            for (Map.Entry<String, LocationSnapshot.PendingWrite> entry : writes) {
+                LocationSnapshot.PendingWrite write = entry.getValue();
+                stringConnection.xAdd(streamKey, write.deleted()
+                        ? deleteFields(entry.getKey())
+                        : saveFields(entry.getKey(), write.latitude(), write.longitude()));
+            }
+
+            return null;
+        });
+    }
+
+    private static Map<String, String> saveFields(String driverId, double latitude, double longitude) {
+        return Map.of(
+                FIELD_DRIVER_ID, driverId,
+                FIELD_OP, OP_SAVE,
+                FIELD_LATITUDE, Double.toString(latitude),
+                FIELD_LONGITUDE, Double.toString(longitude)
+        );
+    }
+
+    private static Map<String, String> deleteFields(String driverId) {
+        return Map.of(
+                FIELD_DRIVER_ID, driverId,
+                FIELD_OP, OP_DELETE
+        );
+    }
+}
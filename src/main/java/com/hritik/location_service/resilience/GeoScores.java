@@ -0,0 +1,48 @@
+package com.hritik.location_service.resilience;
+
+/**
+ * Decodes the sorted-set scores Redis stores for GEO members.
+ * A score is a 52-bit geohash with latitude bits in the even positions and longitude bits
+ * in the odd positions; decoding yields the centre of the cell, as GEOPOS does.
+ */
+public final class GeoScores {
+
+    private static final double LATITUDE_MIN = -85.05112878;
+    private static final double LATITUDE_MAX = 85.05112878;
+    private static final double LONGITUDE_MIN = -180.0;
+    private static final double LONGITUDE_MAX = 180.0;
+    private static final double CELLS_PER_AXIS = 1 << 26;
+
+    private GeoScores() {
+    }
+
+    /**
+     * Decode a GEO score.
+     *
+     * @return {latitude, longitude}
+     */
+    public static double[] decode(double score) {
+        long bits = (long) score;
+
+        double latitudeCell = evenBits(bits);
+        double longitudeCell = evenBits(bits >>> 1);
+
+        double latitude = LATITUDE_MIN + (latitudeCell + 0.5) * (LATITUDE_MAX - LATITUDE_MIN) / CELLS_PER_AXIS;
+        double longitude = LONGITUDE_MIN + (longitudeCell + 0.5) * (LONGITUDE_MAX - LONGITUDE_MIN) / CELLS_PER_AXIS;
+
+        return new double[]{latitude, longitude};
+    }
+
+    /**
+     * Collect bits 0, 2, 4, ... of {@code value} into a contiguous integer.
+     */
+    private static long evenBits(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value >>> 16)) & 0x00000000FFFFFFFFL;
+        return value;
+    }
+}
@@ -0,0 +1,224 @@
+package com.hritik.location_service.resilience;
+
+import com.hritik.location_service.dto.DriverLocationDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of recent driver positions.
+ * Serves reads while Redis is unavailable and buffers writes made in the meantime
+ * so they can be replayed once Redis recovers.
+ */
+@Component
+public class LocationSnapshot {
+
+    private static final double EARTH_RADIUS_KM = 6372.797560856; // same radius Redis uses for GEO distances
+
+    /**
+     * A buffered write: a position to save, or a deletion when {@code deleted} is set.
+     */
+    public record PendingWrite(double latitude, double longitude, boolean deleted) {
+    }
+
+    private record Entry(double latitude, double longitude, long updatedAt) {
+    }
+
+    private record Candidate(String driverId, Entry entry, double distanceKm) {
+    }
+
+    private final int maxPendingWrites;
+
+    private volatile Map<String, Entry> positions = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    public LocationSnapshot(@Value("${location.snapshot.max-pending-writes:100000}") int maxPendingWrites) {
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    /**
+     * Record a position that is known to be in Redis, superseding any buffered write.
+     */
+    public void put(String driverId, double latitude, double longitude) {
+        positions.put(driverId, new Entry(latitude, longitude, System.currentTimeMillis()));
+        pendingWrites.remove(driverId);
+    }
+
+    /**
+     * Record a deletion that is known to be applied in Redis, superseding any buffered write.
+     */
+    public void remove(String driverId) {
+        positions.remove(driverId);
+        pendingWrites.remove(driverId);
+    }
+
+    /**
+     * Record a position that could not be written to Redis.
+     *
+     * @return false if the buffer is full and the write was only applied locally
+     */
+    public boolean bufferSave(String driverId, double latitude, double longitude) {
+        positions.put(driverId, new Entry(latitude, longitude, System.currentTimeMillis()));
+        return buffer(driverId, new PendingWrite(latitude, longitude, false));
+    }
+
+    /**
+     * Record a deletion that could not be applied to Redis.
+     *
+     * @return false if the buffer is full and the deletion was only applied locally
+     */
+    public boolean bufferDelete(String driverId) {
+        positions.remove(driverId);
+        return buffer(driverId, new PendingWrite(0, 0, true));
+    }
+
+    /**
+     * Copy of the buffered writes, one per driver with the latest write winning.
+     */
+    public Map<String, PendingWrite> pendingWrites() {
+        return new HashMap<>(pendingWrites);
+    }
+
+    /**
+     * Drop a buffered write once replayed, unless a newer one replaced it meanwhile.
+     */
+    public void acknowledge(String driverId, PendingWrite write) {
+        pendingWrites.remove(driverId, write);
+    }
+
+    public boolean hasPendingWrites() {
+        return !pendingWrites.isEmpty();
+    }
+
+    /**
+     * Replace the snapshot with a fresh copy loaded from Redis.
+     * Entries written locally after {@code loadStartedAt} and buffered writes are kept,
+     * since the loaded copy may predate them.
+     */
+    public void replaceAll(Map<String, double[]> loaded, long loadStartedAt) {
+        Map<String, Entry> fresh = new ConcurrentHashMap<>(Math.max(16, loaded.size() * 4 / 3 + 1));
+
+        loaded.forEach((driverId, latLon) ->
+                fresh.put(driverId, new Entry(latLon[0], latLon[1], loadStartedAt)));
+
+        positions.forEach((driverId, entry) -> {
+            if (entry.updatedAt() >= loadStartedAt) {
+                fresh.put(driverId, entry);
+            }
+        });
+
+        pendingWrites.forEach((driverId, write) -> {
+            if (write.deleted()) {
+                fresh.remove(driverId);
+            } else {
+                fresh.put(driverId, new Entry(write.latitude(), write.longitude(), System.currentTimeMillis()));
+            }
+        });
+
+        positions = fresh;
+    }
+
+    public Optional<DriverLocationDto> find(String driverId) {
+        Entry entry = positions.get(driverId);
+
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(DriverLocationDto.builder()
+                .driverId(driverId)
+                .latitude(entry.latitude())
+                .longitude(entry.longitude())
+                .build());
+    }
+
+    /**
+     * Find the nearest drivers within a radius, nearest first, in a single pass over the snapshot.
+     * A lat/lon bounding box rejects most drivers before the haversine distance is computed.
+     */
+    public List<DriverLocationDto> findNearest(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        double latitudeDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double cosLatitude = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latitudeDelta)));
+        double longitudeDelta = Math.min(180.0, latitudeDelta / cosLatitude);
+
+        // Max-heap on distance holding the best `limit` candidates seen so far
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Candidate::distanceKm).reversed());
+
+        positions.forEach((driverId, entry) -> {
+            if (Math.abs(entry.latitude() - latitude) > latitudeDelta
+                    || longitudeGap(entry.longitude(), longitude) > longitudeDelta) {
+                return;
+            }
+
+            double distance = haversineKm(latitude, longitude, entry.latitude(), entry.longitude());
+
+            if (distance > radiusKm) {
+                return;
+            }
+
+            if (nearest.size() < limit) {
+                nearest.add(new Candidate(driverId, entry, distance));
+            } else if (distance < nearest.peek().distanceKm()) {
+                nearest.poll();
+                nearest.add(new Candidate(driverId, entry, distance));
+            }
+        });
+
+        List<Candidate> sorted = new ArrayList<>(nearest);
+        sorted.sort(Comparator.comparingDouble(Candidate::distanceKm));
+
+        List<DriverLocationDto> drivers = new ArrayList<>(sorted.size());
+        for (Candidate candidate : sorted) {
+            drivers.add(DriverLocationDto.builder()
+                    .driverId(candidate.driverId())
+                    .latitude(candidate.entry().latitude())
+                    .longitude(candidate.entry().longitude())
+                    .distanceKm(Math.round(candidate.distanceKm() * 100.0) / 100.0)
+                    .build());
+        }
+
+        return drivers;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    private boolean buffer(String driverId, PendingWrite write) {
+        if (pendingWrites.size() >= maxPendingWrites && !pendingWrites.containsKey(driverId)) {
+            return false;
+        }
+
+        pendingWrites.put(driverId, write);
+        return true;
+    }
+
+    private static double longitudeGap(double a, double b) {
+        double gap = Math.abs(a - b);
+        return gap > 180.0 ? 360.0 - gap : gap;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,113 @@
+package com.hritik.location_service.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breaker guarding calls to Redis.
+ * Opens after a run of consecutive failures, then lets a single probe through
+ * once the open interval has elapsed to decide whether to close again.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    public RedisCircuitBreaker(
+            @Value("${location.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${location.circuit-breaker.open-duration-ms:10000}") long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * Check whether a Redis call may be attempted right now.
+     * While open, returns true for exactly one caller once the open interval has elapsed.
+     */
+    public boolean allowRequest() {
+        State current = state;
+
+        if (current == State.CLOSED) {
+            return true;
+        }
+
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt < openDurationMs) {
+            return false;
+        }
+
+        if (probeInFlight.compareAndSet(false, true)) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Record a successful Redis call.
+     * While open, successes are ignored: they come from calls that started before the trip,
+     * and only a call made after the open interval (half-open) may close the circuit.
+     */
+    public void recordSuccess() {
+        State current = state;
+
+        if (current == State.CLOSED) {
+            consecutiveFailures.set(0);
+        } else if (current == State.HALF_OPEN) {
+            consecutiveFailures.set(0);
+            state = State.CLOSED;
+            probeInFlight.set(false);
+            log.info("Redis circuit closed, leaving degraded mode");
+        }
+    }
+
+    /**
+     * Record a failed Redis call.
+     */
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+
+        if (state == State.HALF_OPEN) {
+            trip();
+            probeInFlight.set(false);
+            log.warn("Redis probe failed, circuit stays open for {} ms", openDurationMs);
+        } else if (state == State.CLOSED && failures >= failureThreshold) {
+            trip();
+            log.warn("Redis circuit opened after {} consecutive failures, entering degraded mode", failures);
+        }
+    }
+
+    /**
+     * True while Redis calls are being short-circuited.
+     */
+    public boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void trip() {
+        openedAt = System.currentTimeMillis();
+        state = State.OPEN;
+    }
+}
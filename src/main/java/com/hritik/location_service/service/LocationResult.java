@@ -0,0 +1,28 @@
+package com.hritik.location_service.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a location read, together with where it was served from.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LocationResult<T> {
+
+    private final T data;
+
+    /**
+     * True when the data came from the fallback snapshot and may be stale.
+     */
+    private final boolean degraded;
+
+    public static <T> LocationResult<T> live(T data) {
+        return new LocationResult<>(data, false);
+    }
+
+    public static <T> LocationResult<T> degraded(T data) {
+        return new LocationResult<>(data, true);
+    }
+}
@@ -24,17 +24,17 @@ public interface LocationService {
      *
      * @param latitude  Latitude coordinate of search point
      * @param longitude Longitude coordinate of search point
-     * @return List of nearby drivers with their locations
+     * @return List of nearby drivers with their locations, flagged if served in degraded mode
      */
-    List<DriverLocationDto> getNearByDrivers(Double latitude, Double longitude);
+    LocationResult<List<DriverLocationDto>> getNearByDrivers(Double latitude, Double longitude);
 
     /**
      * Get a specific driver's current location.
      *
      * @param driverId Unique driver identifier
-     * @return Driver's location information
+     * @return Driver's location information, flagged if served in degraded mode
      */
-    DriverLocationDto getDriverLocation(String driverId);
+    LocationResult<DriverLocationDto> getDriverLocation(String driverId);
 
     /**
      * Remove driver's location from tracking.
@@ -1,35 +1,63 @@
 package com.hritik.location_service.service;
 
 import com.hritik.location_service.dto.DriverLocationDto;
+import com.hritik.location_service.eta.EtaRanker;
 import com.hritik.location_service.exception.DriverNotFoundException;
 import com.hritik.location_service.exception.LocationServiceException;
+import com.hritik.location_service.exception.WriteBufferFullException;
+import com.hritik.location_service.ingest.LocationStreamPublisher;
+import com.hritik.location_service.resilience.GeoScores;
+import com.hritik.location_service.resilience.LocationSnapshot;
+import com.hritik.location_service.resilience.RedisCircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.geo.*;
 import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.GeoOperations;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Redis-based implementation of LocationService.
  * Uses Redis geospatial commands for efficient location queries.
+ * Redis calls go through a circuit breaker; while it is open, reads are served from
+ * an in-memory snapshot and writes are buffered there for replay.
+ * With stream ingest enabled, saves and deletes are appended to a Redis Stream instead
+ * of being applied to the geo set directly.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RedisLocationServiceImpl implements LocationService {
 
-    private static final String DRIVER_GEO_KEY = "drivers:locations";
+    public static final String DRIVER_GEO_KEY = "drivers:locations";
     private static final List<Double> DEFAULT_SEARCH_RADII = List.of(2.0, 5.0, 7.0, 10.0, 15.0);
 
+    // Keep each snapshot and replay round trip small, well inside the Redis read timeout
+    private static final int SNAPSHOT_SCAN_COUNT = 500;
+    private static final int REPLAY_CHUNK_SIZE = 500;
+
     private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocationSnapshot snapshot;
+    private final LocationStreamPublisher streamPublisher;
+    private final EtaRanker etaRanker;
+
+    // Set when the write buffer first overflows, cleared once Redis is reachable again
+    private final AtomicBoolean bufferOverflowReported = new AtomicBoolean();
 
     @Value("${location.required-driver-count:5}")
     private int requiredDriverCount;
@@ -41,7 +69,20 @@ public class RedisLocationServiceImpl implements LocationService {
     public void saveDriverLocation(String driverId, Double latitude, Double longitude) {
         validateCoordinates(latitude, longitude);
 
+        if (!circuitBreaker.allowRequest()) {
+            bufferSave(driverId, latitude, longitude);
+            return;
+        }
+
         try {
+            if (streamPublisher.isEnabled()) {
+                streamPublisher.publishSave(driverId, latitude, longitude);
+                circuitBreaker.recordSuccess();
+                snapshot.put(driverId, latitude, longitude);
+                log.debug("Driver location queued: driverId={}, lat={}, lon={}", driverId, latitude, longitude);
+                return;
+            }
+
             GeoOperations<String, String> geoOps = stringRedisTemplate.opsForGeo();
 
             Long result = geoOps.add(
@@ -58,22 +99,37 @@ public class RedisLocationServiceImpl implements LocationService {
                         driverId, latitude, longitude);
             }
 
+            circuitBreaker.recordSuccess();
+            snapshot.put(driverId, latitude, longitude);
+
         } catch (Exception e) {
+            circuitBreaker.recordFailure();
+
+            if (circuitBreaker.isOpen()) {
+                bufferSave(driverId, latitude, longitude);
+                return;
+            }
+
             log.error("Failed to save location for driver {}: {}", driverId, e.getMessage(), e);
             throw new LocationServiceException("Failed to save driver location", e);
         }
     }
 
     @Override
-    public List<DriverLocationDto> getNearByDrivers(Double latitude, Double longitude) {
+    public LocationResult<List<DriverLocationDto>> getNearByDrivers(Double latitude, Double longitude) {
         validateCoordinates(latitude, longitude);
 
+        if (!circuitBreaker.allowRequest()) {
+            return getNearByDriversFromSnapshot(latitude, longitude);
+        }
+
         try {
             GeoOperations<String, String> geoOps = stringRedisTemplate.opsForGeo();
             Point searchPoint = new Point(longitude, latitude);
 
             List<DriverLocationDto> foundDrivers = new ArrayList<>();
             Set<String> seenDriverIds = new HashSet<>();
+            int candidateCount = etaRanker.candidateCount(requiredDriverCount);
 
             // Search with increasing radius until we find enough drivers
             for (Double radiusKm : DEFAULT_SEARCH_RADII) {
@@ -81,12 +137,12 @@ public class RedisLocationServiceImpl implements LocationService {
                     break;
                 }
 
-                if (foundDrivers.size() >= requiredDriverCount) {
+                if (foundDrivers.size() >= candidateCount) {
                     break;
                 }
 
                 List<DriverLocationDto> driversInRadius = searchDriversInRadius(
-                        geoOps, searchPoint, radiusKm, seenDriverIds
+                        geoOps, searchPoint, radiusKm, seenDriverIds, candidateCount
                 );
 
                 foundDrivers.addAll(driversInRadius);
@@ -95,35 +151,54 @@ public class RedisLocationServiceImpl implements LocationService {
             log.info("Found {} drivers near location: lat={}, lon={}",
                     foundDrivers.size(), latitude, longitude);
 
-            return foundDrivers;
+            circuitBreaker.recordSuccess();
+            return LocationResult.live(etaRanker.rank(latitude, longitude, foundDrivers, requiredDriverCount));
 
         } catch (Exception e) {
+            circuitBreaker.recordFailure();
+
+            if (circuitBreaker.isOpen()) {
+                return getNearByDriversFromSnapshot(latitude, longitude);
+            }
+
             log.error("Failed to find nearby drivers: {}", e.getMessage(), e);
             throw new LocationServiceException("Failed to retrieve nearby drivers", e);
         }
     }
 
     @Override
-    public DriverLocationDto getDriverLocation(String driverId) {
+    public LocationResult<DriverLocationDto> getDriverLocation(String driverId) {
+        if (!circuitBreaker.allowRequest()) {
+            return getDriverLocationFromSnapshot(driverId);
+        }
+
         try {
             GeoOperations<String, String> geoOps = stringRedisTemplate.opsForGeo();
             List<Point> positions = geoOps.position(DRIVER_GEO_KEY, driverId);
 
+            circuitBreaker.recordSuccess();
+
             if (positions == null || positions.isEmpty() || positions.get(0) == null) {
                 throw new DriverNotFoundException("Driver not found: " + driverId);
             }
 
             Point position = positions.get(0);
 
-            return DriverLocationDto.builder()
+            return LocationResult.live(DriverLocationDto.builder()
                     .driverId(driverId)
                     .latitude(position.getY())
                     .longitude(position.getX())
-                    .build();
+                    .build());
 
         } catch (DriverNotFoundException e) {
             throw e;
         } catch (Exception e) {
+            circuitBreaker.recordFailure();
+
+            if (circuitBreaker.isOpen()) {
+                return getDriverLocationFromSnapshot(driverId);
+            }
+
             log.error("Failed to get location for driver {}: {}", driverId, e.getMessage(), e);
             throw new LocationServiceException("Failed to retrieve driver location", e);
         }
@@ -131,7 +206,20 @@ public class RedisLocationServiceImpl implements LocationService {
 
     @Override
     public void deleteDriverLocation(String driverId) {
+        if (!circuitBreaker.allowRequest()) {
+            bufferDelete(driverId);
+            return;
+        }
+
         try {
+            if (streamPublisher.isEnabled()) {
+                streamPublisher.publishDelete(driverId);
+                circuitBreaker.recordSuccess();
+                snapshot.remove(driverId);
+                log.info("Driver location deletion queued: driverId={}", driverId);
+                return;
+            }
+
             GeoOperations<String, String> geoOps = stringRedisTemplate.opsForGeo();
             Long removed = geoOps.remove(DRIVER_GEO_KEY, driverId);
 
@@ -141,20 +229,167 @@ public class RedisLocationServiceImpl implements LocationService {
                 log.warn("Driver location not found for deletion: driverId={}", driverId);
             }
 
+            circuitBreaker.recordSuccess();
+            snapshot.remove(driverId);
+
         } catch (Exception e) {
+            circuitBreaker.recordFailure();
+
+            if (circuitBreaker.isOpen()) {
+                bufferDelete(driverId);
+                return;
+            }
+
             log.error("Failed to delete location for driver {}: {}", driverId, e.getMessage(), e);
             throw new LocationServiceException("Failed to delete driver location", e);
         }
     }
 
     /**
-     * Search for drivers within a specific radius.
+     * Replay buffered writes and reload the snapshot from Redis.
+     * While the circuit is open this doubles as the probe that closes it again.
+     */
+    @Scheduled(fixedDelayString = "${location.snapshot.refresh-interval-ms:5000}")
+    public void refreshSnapshot() {
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+
+        try {
+            replayPendingWrites();
+            bufferOverflowReported.set(false);
+
+            long loadStartedAt = System.currentTimeMillis();
+            Map<String, double[]> loaded = new HashMap<>();
+
+            // ZSCAN pages through the set; positions are decoded from the geohash scores locally
+            ScanOptions options = ScanOptions.scanOptions().count(SNAPSHOT_SCAN_COUNT).build();
+            try (Cursor<ZSetOperations.TypedTuple<String>> cursor =
+                         stringRedisTemplate.opsForZSet().scan(DRIVER_GEO_KEY, options)) {
+                while (cursor.hasNext()) {
+                    ZSetOperations.TypedTuple<String> member = cursor.next();
+                    if (member.getValue() != null && member.getScore() != null) {
+                        loaded.put(member.getValue(), GeoScores.decode(member.getScore()));
+                    }
+                }
+            }
+
+            snapshot.replaceAll(loaded, loadStartedAt);
+            circuitBreaker.recordSuccess();
+
+            log.debug("Location snapshot refreshed: {} drivers", snapshot.size());
+
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            log.warn("Failed to refresh location snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply writes buffered while Redis was unavailable, one per driver, in chunks.
+     */
+    private void replayPendingWrites() {
+        if (!snapshot.hasPendingWrites()) {
+            return;
+        }
+
+        Map<String, LocationSnapshot.PendingWrite> pending = snapshot.pendingWrites();
+        List<Map.Entry<String, LocationSnapshot.PendingWrite>> entries = new ArrayList<>(pending.entrySet());
+
+        for (int from = 0; from < entries.size(); from += REPLAY_CHUNK_SIZE) {
+            List<Map.Entry<String, LocationSnapshot.PendingWrite>> chunk =
+                    entries.subList(from, Math.min(from + REPLAY_CHUNK_SIZE, entries.size()));
+
+            // Stream entries may still be queued, so replay through the stream to keep per-driver ordering
+            if (streamPublisher.isEnabled()) {
+                streamPublisher.publishAll(chunk);
+            } else {
+                replayToGeoSet(chunk);
+            }
+
+            chunk.forEach(entry -> snapshot.acknowledge(entry.getKey(), entry.getValue()));
+        }
+
+        log.info("Replayed {} buffered driver location writes", pending.size());
+    }
+
+    private void replayToGeoSet(List<Map.Entry<String, LocationSnapshot.PendingWrite>> chunk) {
+        GeoOperations<String, String> geoOps = stringRedisTemplate.opsForGeo();
+
+        Map<String, Point> saves = new HashMap<>();
+        List<String> deletes = new ArrayList<>();
+
+        for (Map.Entry<String, LocationSnapshot.PendingWrite> entry : chunk) {
+            if (entry.getValue().deleted()) {
+                deletes.add(entry.getKey());
+            } else {
+                saves.put(entry.getKey(), new Point(entry.getValue().longitude(), entry.getValue().latitude()));
+            }
+        }
+
+        if (!saves.isEmpty()) {
+            geoOps.add(DRIVER_GEO_KEY, saves);
+        }
+
+        if (!deletes.isEmpty()) {
+            geoOps.remove(DRIVER_GEO_KEY, deletes.toArray(new String[0]));
+        }
+    }
+
+    private void bufferSave(String driverId, Double latitude, Double longitude) {
+        if (!snapshot.bufferSave(driverId, latitude, longitude)) {
+            rejectWrite();
+        }
+    }
+
+    private void bufferDelete(String driverId) {
+        if (!snapshot.bufferDelete(driverId)) {
+            rejectWrite();
+        }
+    }
+
+    /**
+     * Refuse a write that cannot be buffered for replay, so the client knows to retry.
+     * Logged once per outage rather than once per write.
+     */
+    private void rejectWrite() {
+        if (bufferOverflowReported.compareAndSet(false, true)) {
+            log.warn("Write buffer full, rejecting driver location writes until Redis recovers");
+        }
+        throw new WriteBufferFullException("Location service is degraded and cannot accept writes, retry later");
+    }
+
+    /**
+     * Degraded-mode variant of {@link #getNearByDrivers} backed by the snapshot.
+     * The snapshot is scanned once for the largest allowed radius; nearest-first order
+     * gives the same drivers the expanding Redis search would.
+     */
+    private LocationResult<List<DriverLocationDto>> getNearByDriversFromSnapshot(Double latitude, Double longitude) {
+        double radiusKm = DEFAULT_SEARCH_RADII.stream()
+                .filter(radius -> radius <= maxSearchRadiusKm)
+                .max(Double::compare)
+                .orElse(maxSearchRadiusKm);
+
+        List<DriverLocationDto> foundDrivers = snapshot.findNearest(
+                latitude, longitude, radiusKm, etaRanker.candidateCount(requiredDriverCount));
+
+        return LocationResult.degraded(etaRanker.rank(latitude, longitude, foundDrivers, requiredDriverCount));
+    }
+
+    private LocationResult<DriverLocationDto> getDriverLocationFromSnapshot(String driverId) {
+        return LocationResult.degraded(snapshot.find(driverId)
+                .orElseThrow(() -> new DriverNotFoundException("Driver not found: " + driverId)));
+    }
+
+    /**
+     * Search for up to {@code maxDrivers} new drivers within a specific radius.
      */
     private List<DriverLocationDto> searchDriversInRadius(
             GeoOperations<String, String> geoOps,
             Point searchPoint,
             Double radiusKm,
-            Set<String> seenDriverIds) {
+            Set<String> seenDriverIds,
+            int maxDrivers) {
 
         List<DriverLocationDto> drivers = new ArrayList<>();
 
@@ -165,7 +400,7 @@ public class RedisLocationServiceImpl implements LocationService {
                 .includeDistance()
                 .includeCoordinates()
                 .sortAscending()
-                .limit(requiredDriverCount * 2); // Get more than needed to account for duplicates
+                .limit(maxDrivers + seenDriverIds.size()); // Drivers from smaller radii come back first
 
         GeoResults<RedisGeoCommands.GeoLocation<String>> results =
                 geoOps.radius(DRIVER_GEO_KEY, searchArea, args);
@@ -206,7 +441,7 @@ public class RedisLocationServiceImpl implements LocationService {
             seenDriverIds.add(driverId);
 
             // Stop if we have enough drivers
-            if (drivers.size() >= requiredDriverCount) {
+            if (drivers.size() >= maxDrivers) {
                 break;
             }
         }
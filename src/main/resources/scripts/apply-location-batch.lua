@@ -0,0 +1,37 @@
+-- Applies a batch of stream entries to the driver geo set, last write wins per driver.
+-- Ordering uses stream entry ids, so late or redelivered entries never overwrite newer ones.
+--
+-- KEYS[1]  driver geo set
+-- KEYS[2]  hash of driver id -> id of the last applied stream entry
+-- ARGV     groups of five: entry id, driver id, op (SET | DEL), longitude, latitude
+--
+-- Returns the number of entries applied.
+
+local function is_newer(id, last)
+    local id_ms, id_seq = string.match(id, '(%d+)-(%d+)')
+    local last_ms, last_seq = string.match(last, '(%d+)-(%d+)')
+    id_ms, last_ms = tonumber(id_ms), tonumber(last_ms)
+    if id_ms ~= last_ms then
+        return id_ms > last_ms
+    end
+    return tonumber(id_seq) > tonumber(last_seq)
+end
+
+local applied = 0
+
+for i = 1, #ARGV, 5 do
+    local id, driver, op = ARGV[i], ARGV[i + 1], ARGV[i + 2]
+    local last = redis.call('HGET', KEYS[2], driver)
+
+    if not last or is_newer(id, last) then
+        if op == 'SET' then
+            redis.call('GEOADD', KEYS[1], ARGV[i + 3], ARGV[i + 4], driver)
+        else
+            redis.call('ZREM', KEYS[1], driver)
+        end
+        redis.call('HSET', KEYS[2], driver, id)
+        applied = applied + 1
+    end
+end
+
+return applied
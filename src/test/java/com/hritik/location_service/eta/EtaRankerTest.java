@@ -0,0 +1,99 @@
+package com.hritik.location_service.eta;
+
+import com.hritik.location_service.dto.DriverLocationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EtaRankerTest {
+
+    // 1 row x 3 cols of 1 degree cells starting at (0, 0); the search point is in cell 0
+    private static final double SEARCH_LATITUDE = 0.5;
+    private static final double SEARCH_LONGITUDE = 0.5;
+
+    @TempDir
+    Path tempDir;
+
+    private EtaRanker ranker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        char unknown = (char) TravelTimeGrid.UNKNOWN_SECONDS;
+        char[] seconds = {
+                0, unknown, unknown,
+                600, 0, unknown,
+                300, unknown, 0
+        };
+        Path file = tempDir.resolve("grid.bin");
+        TravelTimeGrid.write(file, 0.0, 0.0, 1.0, 1, 3, seconds);
+
+        ranker = new EtaRanker();
+        ReflectionTestUtils.setField(ranker, "candidateMultiplier", 3);
+        ranker.useGrid(TravelTimeGrid.load(file, 16));
+    }
+
+    @Test
+    void ranksByEtaThenUnknownByDistance() {
+        List<DriverLocationDto> drivers = new ArrayList<>(List.of(
+                driver("outside-near", 5.0, 5.0, 1.0),
+                driver("cell-1", 0.5, 1.5, 2.0),
+                driver("outside-far", -5.0, -5.0, 4.0),
+                driver("cell-2", 0.5, 2.5, 3.0)
+        ));
+
+        List<DriverLocationDto> ranked = ranker.rank(SEARCH_LATITUDE, SEARCH_LONGITUDE, drivers, 4);
+
+        assertThat(ranked).extracting(DriverLocationDto::getDriverId)
+                .containsExactly("cell-2", "cell-1", "outside-near", "outside-far");
+        assertThat(ranked).extracting(DriverLocationDto::getEtaSeconds)
+                .containsExactly(300, 600, null, null);
+    }
+
+    @Test
+    void keepsFastestCandidatesUpToLimit() {
+        List<DriverLocationDto> drivers = new ArrayList<>(List.of(
+                driver("cell-1", 0.5, 1.5, 1.0),
+                driver("outside", 5.0, 5.0, 2.0),
+                driver("cell-2", 0.5, 2.5, 3.0)
+        ));
+
+        List<DriverLocationDto> ranked = ranker.rank(SEARCH_LATITUDE, SEARCH_LONGITUDE, drivers, 1);
+
+        assertThat(ranked).extracting(DriverLocationDto::getDriverId).containsExactly("cell-2");
+    }
+
+    @Test
+    void fetchesExtraCandidatesOnlyWhenRanking() {
+        assertThat(ranker.candidateCount(3)).isEqualTo(9);
+        assertThat(new EtaRanker().candidateCount(3)).isEqualTo(3);
+    }
+
+    @Test
+    void leavesDriversUntouchedWithoutGrid() {
+        List<DriverLocationDto> drivers = new ArrayList<>(List.of(
+                driver("a", 0.5, 2.5, 1.0),
+                driver("b", 0.5, 1.5, 2.0)
+        ));
+
+        List<DriverLocationDto> result = new EtaRanker().rank(SEARCH_LATITUDE, SEARCH_LONGITUDE, drivers, 1);
+
+        assertThat(result).extracting(DriverLocationDto::getDriverId).containsExactly("a", "b");
+    }
+
+    private static DriverLocationDto driver(String driverId, double latitude, double longitude, double distanceKm) {
+        return DriverLocationDto.builder()
+                .driverId(driverId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .distanceKm(distanceKm)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.hritik.location_service.eta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TravelTimeGridTest {
+
+    // 2 rows x 3 cols of 0.5 degree cells starting at (10, 20)
+    private static final double MIN_LATITUDE = 10.0;
+    private static final double MIN_LONGITUDE = 20.0;
+    private static final double CELL_SIZE = 0.5;
+    private static final int ROWS = 2;
+    private static final int COLS = 3;
+    private static final int CELLS = ROWS * COLS;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripsTravelTimes() throws IOException {
+        TravelTimeGrid grid = TravelTimeGrid.load(writeGrid(), 16);
+
+        assertThat(grid.cells()).isEqualTo(CELLS);
+        for (int from = 0; from < CELLS; from++) {
+            for (int to = 0; to < CELLS; to++) {
+                if (from != 0 || to != CELLS - 1) {
+                    assertThat(grid.travelSeconds(from, to)).isEqualTo(expectedSeconds(from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownTravelTimeDecodesToUnknown() throws IOException {
+        TravelTimeGrid grid = TravelTimeGrid.load(writeGrid(), 16);
+
+        assertThat(grid.travelSeconds(0, CELLS - 1)).isEqualTo(TravelTimeGrid.UNKNOWN);
+        assertThat(grid.travelSeconds(TravelTimeGrid.UNKNOWN, 0)).isEqualTo(TravelTimeGrid.UNKNOWN);
+    }
+
+    @Test
+    void cachedAndUncachedLookupsAgree() throws IOException {
+        Path file = writeGrid();
+        TravelTimeGrid cached = TravelTimeGrid.load(file, 4);
+        TravelTimeGrid uncached = TravelTimeGrid.load(file, 0);
+
+        // Two passes: the first fills the cache (misses), the second reads it back (hits or evictions)
+        for (int pass = 0; pass < 2; pass++) {
+            for (int from = 0; from < CELLS; from++) {
+                for (int to = 0; to < CELLS; to++) {
+                    assertThat(cached.travelSeconds(from, to)).isEqualTo(uncached.travelSeconds(from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    void mapsCoordinatesToCells() throws IOException {
+        TravelTimeGrid grid = TravelTimeGrid.load(writeGrid(), 0);
+
+        assertThat(grid.cellOf(10.0, 20.0)).isZero();
+        assertThat(grid.cellOf(10.25, 20.75)).isEqualTo(1);
+        assertThat(grid.cellOf(10.5, 20.0)).isEqualTo(COLS);
+        assertThat(grid.cellOf(10.999, 21.499)).isEqualTo(CELLS - 1);
+    }
+
+    @Test
+    void coordinatesOutsideGridAreUnknown() throws IOException {
+        TravelTimeGrid grid = TravelTimeGrid.load(writeGrid(), 0);
+
+        assertThat(grid.cellOf(9.999, 20.0)).isEqualTo(TravelTimeGrid.UNKNOWN);
+        assertThat(grid.cellOf(10.0, 19.999)).isEqualTo(TravelTimeGrid.UNKNOWN);
+        assertThat(grid.cellOf(11.0, 20.0)).isEqualTo(TravelTimeGrid.UNKNOWN);
+        assertThat(grid.cellOf(10.0, 21.5)).isEqualTo(TravelTimeGrid.UNKNOWN);
+    }
+
+    @Test
+    void rejectsBadHeader() throws IOException {
+        Path file = writeGrid();
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 0xCAFEBABE));
+        }
+
+        assertThatThrownBy(() -> TravelTimeGrid.load(file, 0))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a version");
+    }
+
+    @Test
+    void rejectsWrongSize() throws IOException {
+        Path file = writeGrid();
+        Files.write(file, new byte[]{0, 0}, StandardOpenOption.APPEND);
+
+        assertThatThrownBy(() -> TravelTimeGrid.load(file, 0))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt");
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path file = tempDir.resolve("short.bin");
+        Files.write(file, new byte[]{0x45, 0x54});
+
+        assertThatThrownBy(() -> TravelTimeGrid.load(file, 0)).isInstanceOf(IOException.class);
+    }
+
+    private Path writeGrid() throws IOException {
+        char[] seconds = new char[CELLS * CELLS];
+        for (int from = 0; from < CELLS; from++) {
+            for (int to = 0; to < CELLS; to++) {
+                seconds[from * CELLS + to] = (char) expectedSeconds(from, to);
+            }
+        }
+        seconds[CELLS - 1] = (char) TravelTimeGrid.UNKNOWN_SECONDS;
+
+        Path file = tempDir.resolve("grid.bin");
+        TravelTimeGrid.write(file, MIN_LATITUDE, MIN_LONGITUDE, CELL_SIZE, ROWS, COLS, seconds);
+        return file;
+    }
+
+    private static int expectedSeconds(int from, int to) {
+        return 60 + from * 100 + to;
+    }
+}
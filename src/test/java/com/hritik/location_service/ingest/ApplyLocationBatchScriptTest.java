@@ -0,0 +1,66 @@
+package com.hritik.location_service.ingest;
+
+import com.hritik.location_service.service.RedisLocationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class ApplyLocationBatchScriptTest extends RedisContainerTest {
+
+    private static final String LAST_APPLIED_KEY = "drivers:locations:last-entry";
+
+    private final DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+
+    ApplyLocationBatchScriptTest() {
+        script.setLocation(new ClassPathResource("scripts/apply-location-batch.lua"));
+        script.setResultType(Long.class);
+    }
+
+    @Test
+    void redeliveredOlderEntryIsIgnored() {
+        assertThat(apply("1700000000002-0", "D1", "SET", 77.2, 28.6)).isEqualTo(1);
+        assertThat(apply("1700000000001-0", "D1", "SET", 10.0, 10.0)).isZero();
+
+        assertThat(position("D1").getX()).isCloseTo(77.2, offset(1e-5));
+    }
+
+    @Test
+    void olderSetAfterDeleteDoesNotResurrectDriver() {
+        apply("1700000000001-0", "D1", "SET", 77.2, 28.6);
+        apply("1700000000003-0", "D1", "DEL", 0, 0);
+        assertThat(apply("1700000000002-0", "D1", "SET", 77.3, 28.7)).isZero();
+
+        assertThat(position("D1")).isNull();
+    }
+
+    @Test
+    void entriesInSameMillisecondAreOrderedBySequence() {
+        apply("1700000000001-2", "D1", "SET", 77.2, 28.6);
+        assertThat(apply("1700000000001-1", "D1", "SET", 10.0, 10.0)).isZero();
+        assertThat(apply("1700000000001-10", "D1", "SET", 77.4, 28.8)).isEqualTo(1);
+
+        assertThat(position("D1").getX()).isCloseTo(77.4, offset(1e-5));
+    }
+
+    @Test
+    void idsAreComparedNumerically() {
+        apply("999-0", "D1", "SET", 77.2, 28.6);
+        assertThat(apply("1000-0", "D1", "SET", 77.4, 28.8)).isEqualTo(1);
+    }
+
+    private Long apply(String id, String driverId, String op, double longitude, double latitude) {
+        return redisTemplate.execute(script, List.of(RedisLocationServiceImpl.DRIVER_GEO_KEY, LAST_APPLIED_KEY),
+                id, driverId, op, Double.toString(longitude), Double.toString(latitude));
+    }
+
+    private Point position(String driverId) {
+        List<Point> positions = redisTemplate.opsForGeo().position(RedisLocationServiceImpl.DRIVER_GEO_KEY, driverId);
+        return positions == null || positions.isEmpty() ? null : positions.get(0);
+    }
+}
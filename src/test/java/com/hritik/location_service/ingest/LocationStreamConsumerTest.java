@@ -0,0 +1,119 @@
+package com.hritik.location_service.ingest;
+
+import com.hritik.location_service.service.RedisLocationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationStreamConsumerTest extends RedisContainerTest {
+
+    private static final String STREAM_KEY = "drivers:locations:stream";
+    private static final String GROUP = "location-ingest";
+
+    private LocationStreamPublisher publisher;
+    private LocationStreamConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new LocationStreamPublisher(redisTemplate);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        ReflectionTestUtils.setField(publisher, "streamKey", STREAM_KEY);
+
+        // claim-idle-ms of 0 makes every pending entry eligible for reclaiming
+        consumer = new LocationStreamConsumer(redisTemplate, new SimpleMeterRegistry(), "test", true,
+                STREAM_KEY, GROUP, 1, 100, 100, 0, 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        consumer.stop();
+    }
+
+    @Test
+    void ingestResumesAfterStreamIsDeleted() {
+        consumer.start();
+
+        publisher.publishSave("D1", 28.6, 77.2);
+        await(() -> position("D1") != null);
+
+        // Same effect as a Redis restart without persistence: stream and group are gone
+        redisTemplate.delete(STREAM_KEY);
+
+        publisher.publishSave("D2", 28.7, 77.3);
+        await(() -> position("D2") != null);
+    }
+
+    @Test
+    void reclaimAppliesEntriesLeftByDeadConsumer() {
+        redisTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0-0"), GROUP);
+        publisher.publishSave("D1", 28.6, 77.2);
+
+        // Delivered to a consumer that never acknowledges
+        redisTemplate.opsForStream().read(Consumer.from(GROUP, "dead"),
+                StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+        assertThat(pendingCount()).isEqualTo(1);
+
+        consumer.reclaimStalledEntries();
+
+        assertThat(position("D1")).isNotNull();
+        assertThat(pendingCount()).isZero();
+    }
+
+    @Test
+    void stopRemovesOwnConsumers() throws InterruptedException {
+        consumer.start();
+        publisher.publishSave("D1", 28.6, 77.2);
+        await(() -> position("D1") != null);
+
+        consumer.stop();
+
+        assertThat(redisTemplate.opsForStream().consumers(STREAM_KEY, GROUP).size()).isZero();
+    }
+
+    @Test
+    void disabledConsumerLeavesRedisAlone() throws InterruptedException {
+        LocationStreamConsumer disabled = new LocationStreamConsumer(redisTemplate, new SimpleMeterRegistry(), "test",
+                false, STREAM_KEY, GROUP, 1, 100, 100, 0, 3_600_000);
+
+        disabled.start();
+        disabled.reclaimStalledEntries();
+        disabled.refreshMetrics();
+        disabled.stop();
+
+        assertThat(redisTemplate.hasKey(STREAM_KEY)).isFalse();
+    }
+
+    private long pendingCount() {
+        return redisTemplate.opsForStream().pending(STREAM_KEY, GROUP, Range.unbounded(), 10).size();
+    }
+
+    private Point position(String driverId) {
+        List<Point> positions = redisTemplate.opsForGeo().position(RedisLocationServiceImpl.DRIVER_GEO_KEY, driverId);
+        return positions == null || positions.isEmpty() ? null : positions.get(0);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hritik.location_service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoScoresTest {
+
+    @Test
+    void decodesScoresLikeGeopos() {
+        // Scores and GEOPOS results from the Redis GEOADD documentation example
+        double[] palermo = GeoScores.decode(3479099956230698.0);
+        double[] catania = GeoScores.decode(3479447370796909.0);
+
+        assertThat(palermo[0]).isCloseTo(38.11555639549629859, within(1e-9));
+        assertThat(palermo[1]).isCloseTo(13.36138933897018433, within(1e-9));
+        assertThat(catania[0]).isCloseTo(37.50266842333162032, within(1e-9));
+        assertThat(catania[1]).isCloseTo(15.08726745843887329, within(1e-9));
+    }
+}
@@ -0,0 +1,107 @@
+package com.hritik.location_service.resilience;
+
+import com.hritik.location_service.dto.DriverLocationDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationSnapshotTest {
+
+    @Test
+    void replaceAllKeepsLocalWritesNewerThanLoad() throws InterruptedException {
+        LocationSnapshot snapshot = new LocationSnapshot(10);
+        snapshot.put("stale", 1.0, 1.0);
+        Thread.sleep(2);
+
+        long loadStartedAt = System.currentTimeMillis();
+        snapshot.put("fresh", 2.0, 2.0);
+
+        snapshot.replaceAll(Map.of(
+                "stale", new double[]{10.0, 10.0},
+                "fresh", new double[]{20.0, 20.0}
+        ), loadStartedAt);
+
+        assertThat(snapshot.find("stale")).get().extracting(DriverLocationDto::getLatitude).isEqualTo(10.0);
+        assertThat(snapshot.find("fresh")).get().extracting(DriverLocationDto::getLatitude).isEqualTo(2.0);
+    }
+
+    @Test
+    void replaceAllKeepsBufferedWrites() {
+        LocationSnapshot snapshot = new LocationSnapshot(10);
+        snapshot.bufferSave("moved", 3.0, 3.0);
+        snapshot.bufferDelete("gone");
+
+        snapshot.replaceAll(Map.of(
+                "moved", new double[]{30.0, 30.0},
+                "gone", new double[]{40.0, 40.0}
+        ), System.currentTimeMillis() + 1000);
+
+        assertThat(snapshot.find("moved")).get().extracting(DriverLocationDto::getLatitude).isEqualTo(3.0);
+        assertThat(snapshot.find("gone")).isEmpty();
+    }
+
+    @Test
+    void acknowledgeKeepsWriteReplacedDuringReplay() {
+        LocationSnapshot snapshot = new LocationSnapshot(10);
+        snapshot.bufferSave("driver", 1.0, 1.0);
+
+        Map<String, LocationSnapshot.PendingWrite> replayed = snapshot.pendingWrites();
+        snapshot.bufferSave("driver", 2.0, 2.0);
+        snapshot.acknowledge("driver", replayed.get("driver"));
+
+        assertThat(snapshot.pendingWrites())
+                .containsEntry("driver", new LocationSnapshot.PendingWrite(2.0, 2.0, false));
+    }
+
+    @Test
+    void acknowledgeDropsReplayedWrite() {
+        LocationSnapshot snapshot = new LocationSnapshot(10);
+        snapshot.bufferSave("driver", 1.0, 1.0);
+
+        snapshot.pendingWrites().forEach(snapshot::acknowledge);
+
+        assertThat(snapshot.hasPendingWrites()).isFalse();
+    }
+
+    @Test
+    void fullBufferRejectsNewDriversButUpdatesBufferedOnes() {
+        LocationSnapshot snapshot = new LocationSnapshot(2);
+
+        assertThat(snapshot.bufferSave("a", 1.0, 1.0)).isTrue();
+        assertThat(snapshot.bufferSave("b", 1.0, 1.0)).isTrue();
+        assertThat(snapshot.bufferSave("c", 1.0, 1.0)).isFalse();
+        assertThat(snapshot.bufferDelete("a")).isTrue();
+
+        assertThat(snapshot.pendingWrites()).containsOnlyKeys("a", "b");
+        // Rejected writes are still visible locally
+        assertThat(snapshot.find("c")).isPresent();
+    }
+
+    @Test
+    void confirmedWriteSupersedesBufferedWrite() {
+        LocationSnapshot snapshot = new LocationSnapshot(10);
+        snapshot.bufferSave("driver", 1.0, 1.0);
+
+        snapshot.put("driver", 2.0, 2.0);
+
+        assertThat(snapshot.hasPendingWrites()).isFalse();
+    }
+
+    @Test
+    void findNearestReturnsClosestWithinRadiusInOrder() {
+        LocationSnapshot snapshot = new LocationSnapshot(10);
+        snapshot.put("far", 28.70, 77.20);      // ~9.7 km north
+        snapshot.put("near", 28.62, 77.21);     // ~0.7 km
+        snapshot.put("mid", 28.64, 77.21);      // ~2.9 km
+        snapshot.put("outside", 29.00, 77.20);  // ~43 km
+
+        List<DriverLocationDto> drivers = snapshot.findNearest(28.6139, 77.2090, 15.0, 2);
+
+        assertThat(drivers).extracting(DriverLocationDto::getDriverId).containsExactly("near", "mid");
+        assertThat(snapshot.findNearest(28.6139, 77.2090, 15.0, 10))
+                .extracting(DriverLocationDto::getDriverId).containsExactly("near", "mid", "far");
+    }
+}
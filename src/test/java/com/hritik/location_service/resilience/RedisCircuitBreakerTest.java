@@ -0,0 +1,94 @@
+package com.hritik.location_service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCircuitBreakerTest {
+
+    private static final long LONG_OPEN_MS = 60_000;
+
+    @Test
+    void opensAfterConsecutiveFailuresReachThreshold() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(3, LONG_OPEN_MS);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void successWhileClosedResetsFailureCount() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(3, LONG_OPEN_MS);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void successWhileOpenDoesNotCloseCircuit() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, LONG_OPEN_MS);
+
+        breaker.recordFailure();
+        breaker.recordSuccess();
+
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void letsOneProbeThroughAfterOpenInterval() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, 0);
+        breaker.recordFailure();
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesCircuit() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, 0);
+        breaker.recordFailure();
+
+        assertThat(breaker.allowRequest()).isTrue();
+        breaker.recordSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void failedProbeReopensCircuit() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(5, 0);
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure();
+        }
+
+        assertThat(breaker.allowRequest()).isTrue();
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        // The next probe is allowed again once the (zero) open interval has passed
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void failedProbeKeepsCircuitOpenForOpenInterval() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(1, LONG_OPEN_MS);
+        breaker.recordFailure();
+
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+}